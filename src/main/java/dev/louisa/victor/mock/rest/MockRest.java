@@ -2,10 +2,15 @@ package dev.louisa.victor.mock.rest;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.louisa.victor.mock.rest.config.ContentEncoding;
 import dev.louisa.victor.mock.rest.config.RequestConfigurer;
 import dev.louisa.victor.mock.rest.config.ResponseExpectation;
+import dev.louisa.victor.mock.rest.contract.OpenApiContract;
+import dev.louisa.victor.mock.rest.snapshot.SnapshotStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -13,6 +18,11 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -45,6 +55,21 @@ public class MockRest {
         return new RequestBuilder(mockMvc, mapper, MockMvcRequestBuilders.delete(resolveUri(uri, uriVars)));
     }
 
+    RequestBuilder request(HttpMethod method, String uri, Object... uriVars) {
+        return new RequestBuilder(mockMvc, mapper, MockMvcRequestBuilders.request(method, resolveUri(uri, uriVars)));
+    }
+
+    // ======================
+    // === Test harnesses ===
+    // ======================
+    public MockRestFuzzer fuzz(HttpMethod method, String uriTemplate) {
+        return new MockRestFuzzer(this, mapper, method, uriTemplate);
+    }
+
+    public MockRestStress stress() {
+        return new MockRestStress(this);
+    }
+
     private String resolveUri(String uri, Object... uriVars) {
         return org.springframework.web.util.UriComponentsBuilder
                 .fromUriString(uri)
@@ -70,6 +95,11 @@ public class MockRest {
             return this;
         }
 
+        public RequestBuilder body(Object body, ContentEncoding encoding) {
+            configurers.add(RequestConfigurer.body(mapper, body, encoding));
+            return this;
+        }
+
         public RequestBuilder withRequestHeader(String name, String value) {
             configurers.add(RequestConfigurer.header(name, value));
             return this;
@@ -90,15 +120,31 @@ public class MockRest {
             return this;
         }
 
+        public RequestBuilder expectContract(OpenApiContract contract) {
+            expectations.add(ResponseExpectation.conformsTo(contract));
+            return this;
+        }
+
+        public RequestBuilder expectSnapshot(SnapshotStore store, String name, String... ignoredPaths) {
+            expectations.add(ResponseExpectation.matchesSnapshot(store, name, ignoredPaths));
+            return this;
+        }
+
         // --- intermediate termination: execute ---
         public ResponseBuilder send() throws Exception {
-            final ResultActions actions = mockMvc.perform(configuredRequest());
-            expectations.forEach(exp -> exp.apply(actions));
-            
+            final ResultActions actions = perform();
+
             MockRestLogger.log(actions);
             return new ResponseBuilder(actions.andReturn(), mapper);
         }
 
+        // executes without request/response logging, for the high-volume harnesses
+        ResultActions perform() throws Exception {
+            final ResultActions actions = mockMvc.perform(configuredRequest());
+            expectations.forEach(exp -> exp.apply(actions));
+            return actions;
+        }
+
         private MockHttpServletRequestBuilder configuredRequest() {
             configurers
                     .forEach(cfg -> cfg.apply(request));
@@ -115,6 +161,7 @@ public class MockRest {
     public static class ResponseBuilder {
         private final MvcResult result;
         private final ObjectMapper mapper;
+        private Long uncompressedSize;
 
         public <T> T andReturn(Class<T> type) throws Exception {
             return parseResponse(type, null);
@@ -124,16 +171,102 @@ public class MockRest {
             return parseResponse(null, typeRef);
         }
 
+        public long compressedSize() {
+            return result.getResponse().getContentAsByteArray().length;
+        }
+
+        public long uncompressedSize() throws IOException {
+            if (uncompressedSize == null) {
+                CountingInputStream in = decodedContent();
+                in.close();
+                uncompressedSize = in.count;
+            }
+            return uncompressedSize;
+        }
+
         // --- internal helper ---
         private <T> T parseResponse(Class<T> clazz, TypeReference<T> typeRef) throws Exception {
-            String content = result.getResponse().getContentAsString();
             try {
-                return typeRef != null
-                        ? mapper.readValue(content, typeRef)
-                        : mapper.readValue(content, clazz);
+                CountingInputStream in = decodedContent();
+                T value;
+                try (in) {
+                    value = typeRef != null
+                            ? mapper.readValue(in, typeRef)
+                            : mapper.readValue(in, clazz);
+                }
+                uncompressedSize = in.count;
+                return value;
             } catch (Exception e) {
                 String typeName = (clazz != null) ? clazz.getSimpleName() : "generic type";
-                throw new AssertionError("Failed to parse response body to " + typeName + ": " + content, e);
+                String contentEncoding = result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING);
+                String body = contentEncoding != null
+                        ? "<" + compressedSize() + " bytes " + contentEncoding + ">"
+                        : result.getResponse().getContentAsString();
+                throw new AssertionError("Failed to parse response body to " + typeName + ": " + body, e);
+            }
+        }
+
+        private CountingInputStream decodedContent() throws IOException {
+            ContentEncoding encoding = ContentEncoding.of(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+            return new CountingInputStream(encoding.decode(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())));
+        }
+    }
+
+    // Counts decoded bytes as they stream by; close() drains the rest so the count covers the whole body.
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+        private boolean closed;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long transferred = 0;
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = read(buffer, 0, buffer.length)) > 0) {
+                out.write(buffer, 0, n);
+                transferred += n;
+            }
+            return transferred;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                try {
+                    transferTo(OutputStream.nullOutputStream());
+                } finally {
+                    super.close();
+                }
             }
         }
     }
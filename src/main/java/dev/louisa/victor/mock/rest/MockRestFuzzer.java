@@ -0,0 +1,247 @@
+package dev.louisa.victor.mock.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.util.UriTemplate;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+// Property-based fuzzing of a single endpoint. Request #i is generated from (seed, i) only, and the
+// lowest failing index is reported, so a failure is reproducible however requests were spread over the threads.
+@Slf4j
+public class MockRestFuzzer {
+    private static final int MAX_SHRINK_STEPS = 1_000;
+
+    private final MockRest mockRest;
+    private final ObjectMapper mapper;
+    private final HttpMethod method;
+    private final String uriTemplate;
+    private final int uriVariableCount;
+
+    private final List<String> headers = new ArrayList<>();
+    private final Map<String, Predicate<MvcResult>> invariants = new LinkedHashMap<>();
+    private Type bodyType;
+    private long seed = System.nanoTime();
+    private long requests = 10_000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    MockRestFuzzer(MockRest mockRest, ObjectMapper mapper, HttpMethod method, String uriTemplate) {
+        this.mockRest = mockRest;
+        this.mapper = mapper;
+        this.method = method;
+        this.uriTemplate = uriTemplate;
+        this.uriVariableCount = new UriTemplate(uriTemplate).getVariableNames().size();
+    }
+
+    // --- fuzzer configuration ---
+    public MockRestFuzzer body(Type bodyType) {
+        this.bodyType = bodyType;
+        return this;
+    }
+
+    public MockRestFuzzer header(String name) {
+        headers.add(name);
+        return this;
+    }
+
+    public MockRestFuzzer invariant(String description, Predicate<MvcResult> invariant) {
+        invariants.put(description, invariant);
+        return this;
+    }
+
+    public MockRestFuzzer seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public MockRestFuzzer requests(long requests) {
+        this.requests = requests;
+        return this;
+    }
+
+    public MockRestFuzzer threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    // --- termination: run ---
+    public Report run() throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        AtomicReference<Failure> firstFailure = new AtomicReference<>();
+        AtomicLong firstFailureIndex = new AtomicLong(Long.MAX_VALUE);
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    // indices are handed out in order, so every index below a failure still runs to completion
+                    long index;
+                    while ((index = next.getAndIncrement()) < Math.min(requests, firstFailureIndex.get())) {
+                        Input input = generate(index);
+                        Optional<Verdict> verdict = execute(input);
+                        if (verdict.isPresent()) {
+                            Failure failure = new Failure(index, input, verdict.get());
+                            firstFailure.accumulateAndGet(failure,
+                                    (current, candidate) -> current == null || candidate.index() < current.index() ? candidate : current);
+                            firstFailureIndex.accumulateAndGet(index, Math::min);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Report report = new Report(Math.min(next.get(), requests), Duration.ofNanos(System.nanoTime() - start));
+        Failure failure = firstFailure.get();
+        if (failure != null) {
+            Failure minimal = shrink(failure);
+            throw new AssertionError("Fuzzing " + method + " " + uriTemplate + " failed on request #" + failure.index()
+                    + " (seed=" + seed + "): " + failure.verdict()
+                    + "\n   Shrunk failure: " + minimal.verdict()
+                    + "\n   Minimal input: " + describe(minimal.input())
+                    + "\n   Reproduce with .seed(" + seed + ")");
+        }
+        log.info("Fuzzed {} {} with {} requests in {} ms ({} requests/minute, seed={})",
+                method, uriTemplate, report.requests(), report.elapsed().toMillis(), report.requestsPerMinute(), seed);
+        return report;
+    }
+
+    // --- internal helpers ---
+    private Input generate(long index) {
+        RandomValueGenerator generator = new RandomValueGenerator(seed ^ (index * 0x9E3779B97F4A7C15L));
+        List<Object> uriVariables = new ArrayList<>();
+        for (int i = 0; i < uriVariableCount; i++) {
+            uriVariables.add(generator.uriVariable());
+        }
+        Map<String, String> headerValues = new LinkedHashMap<>();
+        headers.forEach(name -> headerValues.put(name, generator.headerValue()));
+        Object body = bodyType != null ? generator.value(bodyType) : null;
+        return new Input(uriVariables, headerValues, body);
+    }
+
+    private Optional<Verdict> execute(Input input) {
+        try {
+            MockRest.RequestBuilder request = mockRest.request(method, uriTemplate, input.uriVariables().toArray());
+            input.headers().forEach(request::withRequestHeader);
+            if (input.body() != null) {
+                request.body(input.body());
+            }
+            MvcResult result = request.perform().andReturn();
+
+            int status = result.getResponse().getStatus();
+            if (status >= 500) {
+                return Optional.of(new Verdict("server error " + status, ""));
+            }
+            return invariants.entrySet().stream()
+                    .filter(invariant -> !invariant.getValue().test(result))
+                    .findFirst()
+                    .map(invariant -> new Verdict("invariant '" + invariant.getKey() + "' violated", " (status " + status + ")"));
+        } catch (Throwable e) {
+            // MockMvc wraps every controller exception in a ServletException; the root cause identifies the bug
+            Throwable root = e;
+            while (root.getCause() != null && root.getCause() != root) {
+                root = root.getCause();
+            }
+            return Optional.of(new Verdict(root.getClass().getName(), ": " + root.getMessage()));
+        }
+    }
+
+    // Only accepts smaller inputs with the same verdict kind (root-cause exception class, 5xx status or
+    // invariant), so shrinking does not drift to an unrelated failure.
+    private Failure shrink(Failure failure) {
+        Failure current = failure;
+        for (int step = 0; step < MAX_SHRINK_STEPS; step++) {
+            Optional<Failure> smaller = Optional.empty();
+            for (Input candidate : candidates(current.input())) {
+                Optional<Verdict> verdict = execute(candidate);
+                if (verdict.isPresent() && verdict.get().kind().equals(failure.verdict().kind())) {
+                    smaller = Optional.of(new Failure(current.index(), candidate, verdict.get()));
+                    break;
+                }
+            }
+            if (smaller.isEmpty()) {
+                return current;
+            }
+            current = smaller.get();
+        }
+        return current;
+    }
+
+    private List<Input> candidates(Input input) {
+        List<Input> candidates = new ArrayList<>();
+        if (input.body() != null) {
+            candidates.add(new Input(input.uriVariables(), input.headers(), null));
+            RandomValueGenerator.shrink(input.body())
+                    .forEach(body -> candidates.add(new Input(input.uriVariables(), input.headers(), body)));
+        }
+        input.headers().forEach((name, value) -> {
+            Map<String, String> without = new LinkedHashMap<>(input.headers());
+            without.remove(name);
+            candidates.add(new Input(input.uriVariables(), without, input.body()));
+            RandomValueGenerator.shrink(value).forEach(smaller -> {
+                Map<String, String> shrunk = new LinkedHashMap<>(input.headers());
+                shrunk.put(name, (String) smaller);
+                candidates.add(new Input(input.uriVariables(), shrunk, input.body()));
+            });
+        });
+        for (int i = 0; i < input.uriVariables().size(); i++) {
+            for (Object smaller : RandomValueGenerator.shrink(String.valueOf(input.uriVariables().get(i)))) {
+                List<Object> shrunk = new ArrayList<>(input.uriVariables());
+                shrunk.set(i, smaller);
+                candidates.add(new Input(shrunk, input.headers(), input.body()));
+            }
+        }
+        return candidates;
+    }
+
+    private String describe(Input input) {
+        try {
+            return "uriVariables=" + mapper.writeValueAsString(input.uriVariables())
+                    + ", headers=" + mapper.writeValueAsString(input.headers())
+                    + ", body=" + mapper.writeValueAsString(input.body());
+        } catch (JsonProcessingException e) {
+            return input.toString();
+        }
+    }
+
+    private record Input(List<Object> uriVariables, Map<String, String> headers, Object body) {}
+
+    private record Verdict(String kind, String detail) {
+        @Override
+        public String toString() {
+            return kind + detail;
+        }
+    }
+
+    private record Failure(long index, Input input, Verdict verdict) {}
+
+    public record Report(long requests, Duration elapsed) {
+        public long requestsPerMinute() {
+            return elapsed.isZero() ? requests : (long) (requests * (double) Duration.ofMinutes(1).toNanos() / elapsed.toNanos());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package dev.louisa.victor.mock.rest;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.ResultActions;
@@ -38,7 +39,11 @@ public class MockRestLogger {
             // Body (if JSON or text)
             log.info("   Body:");
             if (built.getContentLength() > 0) {
-                String body = new String(Objects.requireNonNull(built.getContentAsByteArray()), StandardCharsets.UTF_8);
+                byte[] content = Objects.requireNonNull(built.getContentAsByteArray());
+                String contentEncoding = built.getHeader(HttpHeaders.CONTENT_ENCODING);
+                String body = contentEncoding != null
+                        ? encoded(content.length, contentEncoding)
+                        : new String(content, StandardCharsets.UTF_8);
                 log.info("      " + body);
             }
 
@@ -57,17 +62,24 @@ public class MockRestLogger {
         }
 
         // Body (if JSON/text)
+        log.info("   Body:");
         String body = null;
         try {
-            body = response.getContentAsString();
+            String contentEncoding = response.getHeader(HttpHeaders.CONTENT_ENCODING);
+            body = contentEncoding != null
+                    ? encoded(response.getContentAsByteArray().length, contentEncoding)
+                    : response.getContentAsString();
         } catch (UnsupportedEncodingException e) {
             log.error(e.getMessage(), e);
         }
 
-
-        log.info("   Body:");
         if (body != null && !body.isBlank()) {
             log.info("      " + body);
         }
     }
+
+    // Encoded bodies are not decompressed just for logging; ResponseBuilder reports the uncompressed size.
+    private static String encoded(int length, String contentEncoding) {
+        return "<" + length + " bytes " + contentEncoding + ">";
+    }
 }
@@ -0,0 +1,430 @@
+package dev.louisa.victor.mock.rest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Fires a mix of operations from many threads at once and checks the recorded history afterwards.
+// Every thread logs into its own list, so recording adds no synchronisation between the threads; each
+// exchange also records how long its thread was blocked or waiting, so contention hot spots can be told
+// apart from operations that are merely slow.
+@Slf4j
+public class MockRestStress {
+    private static final int MAX_REPORTED_EXCHANGES = 50;
+    private static final long DEFAULT_LINEARIZABILITY_BUDGET = 1_000_000;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(1);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final MockRest mockRest;
+
+    private final Map<String, Function<MockRest, MockRest.RequestBuilder>> operations = new LinkedHashMap<>();
+    private final Map<String, Predicate<List<Exchange>>> invariants = new LinkedHashMap<>();
+    private SequentialModel<?> model;
+    private long linearizabilityBudget = DEFAULT_LINEARIZABILITY_BUDGET;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int iterations = 100;
+    private Duration timeout = DEFAULT_TIMEOUT;
+
+    MockRestStress(MockRest mockRest) {
+        this.mockRest = mockRest;
+    }
+
+    // --- stress configuration ---
+    public MockRestStress operation(String name, Function<MockRest, MockRest.RequestBuilder> request) {
+        operations.put(name, request);
+        return this;
+    }
+
+    public MockRestStress invariant(String description, Predicate<List<Exchange>> invariant) {
+        invariants.put(description, invariant);
+        return this;
+    }
+
+    public MockRestStress linearizableTo(SequentialModel<?> model) {
+        this.model = model;
+        return this;
+    }
+
+    public MockRestStress linearizabilityBudget(long steps) {
+        this.linearizabilityBudget = steps;
+        return this;
+    }
+
+    public MockRestStress threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    public MockRestStress iterationsPerThread(int iterations) {
+        this.iterations = iterations;
+        return this;
+    }
+
+    public MockRestStress timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    // --- termination: run ---
+    public Report run() throws InterruptedException {
+        if (operations.isEmpty()) {
+            throw new IllegalStateException("No operations configured for the stress run");
+        }
+        List<Map.Entry<String, Function<MockRest, MockRest.RequestBuilder>>> mix = List.copyOf(operations.entrySet());
+        // the clock starts when the last worker arrives, not while the pool is still spinning up threads
+        AtomicLong begin = new AtomicLong();
+        CyclicBarrier start = new CyclicBarrier(threads, () -> begin.set(System.nanoTime()));
+
+        List<Exchange> history = new ArrayList<>(threads * iterations);
+        boolean enableContentionMonitoring = THREADS.isThreadContentionMonitoringSupported()
+                && !THREADS.isThreadContentionMonitoringEnabled();
+        if (enableContentionMonitoring) {
+            THREADS.setThreadContentionMonitoringEnabled(true);
+        }
+        // daemon workers, so a deadlocked controller cannot keep the JVM alive once the run is abandoned
+        List<Thread> workerThreads = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread worker = new Thread(runnable, "mockrest-stress-" + workerThreads.size());
+            worker.setDaemon(true);
+            workerThreads.add(worker);
+            return worker;
+        });
+        try {
+            List<Future<List<Exchange>>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    List<Exchange> log = new ArrayList<>(iterations);
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        var operation = mix.get((thread + i) % mix.size());
+                        log.add(exchange(thread, operation.getKey(), operation.getValue()));
+                    }
+                    return log;
+                }));
+            }
+            long deadline = System.nanoTime() + timeout.toNanos();
+            for (Future<List<Exchange>> worker : workers) {
+                history.addAll(worker.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AssertionError("Stress run did not finish within " + timeout + ", worker threads:\n" + dump(workerThreads));
+        } finally {
+            executor.shutdownNow();
+            if (enableContentionMonitoring) {
+                THREADS.setThreadContentionMonitoringEnabled(false);
+            }
+        }
+        history.sort(Comparator.comparingLong(Exchange::startNanos));
+
+        Report report = report(history, Duration.ofNanos(System.nanoTime() - begin.get()));
+        log.info("Stressed {} operations on {} threads: {} exchanges, {} exchanges/second, contention hot spots {}",
+                operations.size(), threads, report.exchanges(), report.throughput(), report.hotSpots());
+        verify(history);
+        return report;
+    }
+
+    // --- internal helpers ---
+    private Exchange exchange(int thread, String operation, Function<MockRest, MockRest.RequestBuilder> request) {
+        MockRest.RequestBuilder builder = request.apply(mockRest);
+        ThreadInfo before = THREADS.getThreadInfo(Thread.currentThread().threadId());
+        long start = System.nanoTime();
+        MvcResult result = null;
+        Throwable error = null;
+        try {
+            result = builder.perform().andReturn();
+        } catch (Throwable e) {
+            error = e;
+        }
+        long end = System.nanoTime();
+        return new Exchange(thread, operation, start, end, result, error, contention(before));
+    }
+
+    // Blocked/waited times are -1 while contention monitoring is off; counts are always maintained.
+    private static Contention contention(ThreadInfo before) {
+        ThreadInfo after = THREADS.getThreadInfo(Thread.currentThread().threadId());
+        return new Contention(
+                after.getBlockedCount() - before.getBlockedCount(),
+                Duration.ofMillis(Math.max(0, after.getBlockedTime() - Math.max(0, before.getBlockedTime()))),
+                after.getWaitedCount() - before.getWaitedCount(),
+                Duration.ofMillis(Math.max(0, after.getWaitedTime() - Math.max(0, before.getWaitedTime()))));
+    }
+
+    private void verify(List<Exchange> history) {
+        history.stream()
+                .filter(exchange -> exchange.error() != null)
+                .findFirst()
+                .ifPresent(failed -> {
+                    throw new AssertionError("Stress exchange '" + failed.operation() + "' on thread " + failed.thread()
+                            + " failed: " + failed.error().getMessage(), failed.error());
+                });
+
+        invariants.forEach((description, invariant) -> {
+            if (!invariant.test(history)) {
+                throw new AssertionError("Stress invariant '" + description + "' violated\n" + describe(history));
+            }
+        });
+
+        if (model != null) {
+            // linearizability is local: independent partitions are checked one at a time, each within the budget
+            Map<Object, List<Exchange>> partitions = history.stream()
+                    .collect(Collectors.groupingBy(model::partition, LinkedHashMap::new, Collectors.toList()));
+            partitions.forEach((partition, exchanges) -> verifyLinearizable(model, partition, exchanges));
+        }
+    }
+
+    private <S> void verifyLinearizable(SequentialModel<S> model, Object partition, List<Exchange> history) {
+        switch (linearizable(model, history, linearizabilityBudget)) {
+            case NOT_LINEARIZABLE -> throw new AssertionError("Stress history" + partitionLabel(partition)
+                    + " is not consistent with any sequential order of the operations\n" + describe(history));
+            case INCONCLUSIVE -> throw new AssertionError("Stress history linearizability check inconclusive" + partitionLabel(partition)
+                    + ": no verdict within " + linearizabilityBudget + " model steps for " + history.size()
+                    + " exchanges; partition the model or raise linearizabilityBudget\n" + describe(history));
+            case LINEARIZABLE -> { }
+        }
+    }
+
+    private static String partitionLabel(Object partition) {
+        return SequentialModel.SINGLE_PARTITION.equals(partition) ? "" : " for partition '" + partition + "'";
+    }
+
+    // Wing & Gong style search: an exchange may be linearized next only if no other pending exchange
+    // completed before it started. Visited (done-set, state) pairs are memoized to prune the search,
+    // and every model step counts against the budget, since the search is exponential in the worst case.
+    private static <S> Linearizability linearizable(SequentialModel<S> model, List<Exchange> history, long budget) {
+        int size = history.size();
+        long steps = 0;
+        Set<Object> visited = new HashSet<>();
+        Deque<Frame<S>> stack = new ArrayDeque<>();
+        stack.push(new Frame<>(new BitSet(size), model.initialState(), candidates(history, new BitSet(size))));
+
+        while (!stack.isEmpty()) {
+            Frame<S> frame = stack.peek();
+            if (frame.done.cardinality() == size) {
+                return Linearizability.LINEARIZABLE;
+            }
+            if (frame.next >= frame.candidates.size()) {
+                stack.pop();
+                continue;
+            }
+            if (steps++ >= budget) {
+                return Linearizability.INCONCLUSIVE;
+            }
+            int index = frame.candidates.get(frame.next++);
+            Optional<S> state = model.apply(frame.state, history.get(index));
+            if (state.isPresent()) {
+                BitSet done = (BitSet) frame.done.clone();
+                done.set(index);
+                if (visited.add(List.of(done, state.get()))) {
+                    stack.push(new Frame<>(done, state.get(), candidates(history, done)));
+                }
+            }
+        }
+        return Linearizability.NOT_LINEARIZABLE;
+    }
+
+    private static List<Integer> candidates(List<Exchange> history, BitSet done) {
+        long firstEnd = Long.MAX_VALUE;
+        for (int i = done.nextClearBit(0); i < history.size(); i = done.nextClearBit(i + 1)) {
+            firstEnd = Math.min(firstEnd, history.get(i).endNanos());
+        }
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = done.nextClearBit(0); i < history.size() && history.get(i).startNanos() <= firstEnd; i = done.nextClearBit(i + 1)) {
+            candidates.add(i);
+        }
+        return candidates;
+    }
+
+    private static Report report(List<Exchange> history, Duration elapsed) {
+        Map<String, List<Exchange>> byOperation = history.stream()
+                .collect(Collectors.groupingBy(Exchange::operation, LinkedHashMap::new, Collectors.toList()));
+        List<OperationStats> stats = byOperation.entrySet().stream()
+                .map(entry -> {
+                    long[] latencies = entry.getValue().stream().mapToLong(Exchange::latencyNanos).sorted().toArray();
+                    return new OperationStats(
+                            entry.getKey(),
+                            latencies.length,
+                            Duration.ofNanos((long) Arrays.stream(latencies).average().orElse(0)),
+                            Duration.ofNanos(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]),
+                            Duration.ofNanos(latencies[latencies.length - 1]),
+                            entry.getValue().stream().map(Exchange::contention).reduce(Contention.NONE, Contention::plus));
+                })
+                .sorted(Comparator.comparing(OperationStats::p99).reversed())
+                .toList();
+        return new Report(history.size(), elapsed, stats);
+    }
+
+    private static String dump(List<Thread> workers) {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long[] deadlocked = Objects.requireNonNullElse(threadBean.findDeadlockedThreads(), new long[0]);
+        ThreadInfo[] infos = threadBean.getThreadInfo(
+                workers.stream().mapToLong(Thread::threadId).toArray(),
+                threadBean.isObjectMonitorUsageSupported(),
+                threadBean.isSynchronizerUsageSupported());
+        return Arrays.stream(infos)
+                .filter(Objects::nonNull)
+                .map(info -> describe(info, Arrays.stream(deadlocked).anyMatch(id -> id == info.getThreadId())))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(ThreadInfo info, boolean deadlocked) {
+        StringBuilder dump = new StringBuilder("   \"" + info.getThreadName() + "\" " + info.getThreadState());
+        if (info.getLockName() != null) {
+            dump.append(" on ").append(info.getLockName());
+        }
+        if (info.getLockOwnerName() != null) {
+            dump.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+        }
+        if (deadlocked) {
+            dump.append(" (deadlocked)");
+        }
+        for (StackTraceElement frame : info.getStackTrace()) {
+            dump.append("\n      at ").append(frame);
+        }
+        return dump.toString();
+    }
+
+    private static String describe(List<Exchange> history) {
+        String exchanges = history.stream()
+                .limit(MAX_REPORTED_EXCHANGES)
+                .map(Exchange::toString)
+                .collect(Collectors.joining("\n   ", "   ", ""));
+        return history.size() > MAX_REPORTED_EXCHANGES
+                ? exchanges + "\n   ... " + (history.size() - MAX_REPORTED_EXCHANGES) + " more"
+                : exchanges;
+    }
+
+    private static final class Frame<S> {
+        private final BitSet done;
+        private final S state;
+        private final List<Integer> candidates;
+        private int next;
+
+        private Frame(BitSet done, S state, List<Integer> candidates) {
+            this.done = done;
+            this.state = state;
+            this.candidates = candidates;
+        }
+    }
+
+    private enum Linearizability {
+        LINEARIZABLE, NOT_LINEARIZABLE, INCONCLUSIVE
+    }
+
+    public interface SequentialModel<S> {
+        Object SINGLE_PARTITION = "";
+
+        S initialState();
+
+        // Returns the state after the exchange, or empty when its response cannot follow from the given state.
+        // States must be immutable values: the search memoizes them in a HashSet, so S needs value-based
+        // equals/hashCode, and it applies sibling exchanges to the same parent state, so apply must return a
+        // new state rather than mutate the one it is given. Breaking either rule gives wrong verdicts silently.
+        Optional<S> apply(S state, Exchange exchange);
+
+        // Exchanges in different partitions (e.g. different resource ids) never affect each other's state;
+        // each partition starts from initialState() and is checked on its own.
+        default Object partition(Exchange exchange) {
+            return SINGLE_PARTITION;
+        }
+    }
+
+    public record Exchange(int thread, String operation, long startNanos, long endNanos, MvcResult result, Throwable error,
+                           Contention contention) {
+        public long latencyNanos() {
+            return endNanos - startNanos;
+        }
+
+        @Override
+        public String toString() {
+            String outcome;
+            try {
+                outcome = error != null
+                        ? error.toString()
+                        : result.getResponse().getStatus() + " " + result.getResponse().getContentAsString();
+            } catch (Exception e) {
+                outcome = e.toString();
+            }
+            return "[thread " + thread + "] " + operation + " @" + startNanos + ".." + endNanos + " -> " + outcome;
+        }
+    }
+
+    // How often, and for how long, a thread was blocked on a monitor or waiting (park, wait) during its exchanges,
+    // as reported by ThreadMXBean. Times have millisecond resolution.
+    public record Contention(long blockedCount, Duration blockedTime, long waitedCount, Duration waitedTime) {
+        static final Contention NONE = new Contention(0, Duration.ZERO, 0, Duration.ZERO);
+
+        Contention plus(Contention other) {
+            return new Contention(
+                    blockedCount + other.blockedCount,
+                    blockedTime.plus(other.blockedTime),
+                    waitedCount + other.waitedCount,
+                    waitedTime.plus(other.waitedTime));
+        }
+
+        public Duration total() {
+            return blockedTime.plus(waitedTime);
+        }
+
+        @Override
+        public String toString() {
+            return "blocked " + blockedCount + "x/" + blockedTime.toMillis() + " ms, waited " + waitedCount + "x/" + waitedTime.toMillis() + " ms";
+        }
+    }
+
+    public record OperationStats(String operation, int count, Duration mean, Duration p99, Duration max, Contention contention) {
+        @Override
+        public String toString() {
+            return operation + " (" + count + "x, mean " + mean.toNanos() / 1_000 + " us, p99 " + p99.toNanos() / 1_000
+                    + " us, max " + max.toNanos() / 1_000 + " us, " + contention + ")";
+        }
+    }
+
+    // Operations are ordered by p99 latency, slowest first.
+    public record Report(long exchanges, Duration elapsed, List<OperationStats> operationsByP99Latency) {
+        public long throughput() {
+            return elapsed.isZero() ? exchanges : (long) (exchanges * (double) Duration.ofSeconds(1).toNanos() / elapsed.toNanos());
+        }
+
+        // Operations whose threads were blocked or waiting, most time lost first.
+        public List<OperationStats> hotSpots() {
+            return operationsByP99Latency.stream()
+                    .filter(stats -> stats.contention().blockedCount() + stats.contention().waitedCount() > 0)
+                    .sorted(Comparator.comparing((OperationStats stats) -> stats.contention().total())
+                            .thenComparingLong(stats -> stats.contention().blockedCount() + stats.contention().waitedCount())
+                            .reversed())
+                    .toList();
+        }
+    }
+}
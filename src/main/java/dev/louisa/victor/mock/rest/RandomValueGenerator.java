@@ -0,0 +1,207 @@
+package dev.louisa.victor.mock.rest;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// Generates random, Jackson-serializable values for fuzzing and proposes smaller variants of them for shrinking.
+class RandomValueGenerator {
+    private static final int MAX_DEPTH = 4;
+    private static final int MAX_COLLECTION_SIZE = 5;
+    private static final String URI_SAFE = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789-_.~";
+    private static final List<String> EDGE_STRINGS = List.of(
+            "", " ", "null", "0", "-1", "true", "\u00fcn\u00efc\u00f8d\u00e9", "\uD835\uDD18", "\u0000", "' OR '1'='1", "<script>", "%s%n", "a".repeat(4096)
+    );
+
+    private final SplittableRandom random;
+
+    RandomValueGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    Object uriVariable() {
+        return switch (random.nextInt(4)) {
+            case 0 -> UUID.nameUUIDFromBytes(longBytes());
+            case 1 -> random.nextLong();
+            case 2 -> random.nextInt(-1, 1000);
+            default -> randomString(URI_SAFE, random.nextInt(1, 40));
+        };
+    }
+
+    String headerValue() {
+        return random.nextInt(4) == 0
+                ? EDGE_STRINGS.get(random.nextInt(EDGE_STRINGS.size()))
+                : randomString(URI_SAFE + " /=+,;", random.nextInt(0, 64));
+    }
+
+    Object value(Type type) {
+        return value(type, 0, false);
+    }
+
+    private Object value(Type type, int depth, boolean nullable) {
+        if (nullable && random.nextInt(10) == 0) {
+            return null;
+        }
+        Class<?> raw = rawType(type);
+        if (raw == String.class) {
+            return random.nextInt(3) == 0
+                    ? EDGE_STRINGS.get(random.nextInt(EDGE_STRINGS.size()))
+                    : randomString(URI_SAFE + " \u00e4\u00f6\u00fc\u20ac", random.nextInt(0, 32));
+        }
+        if (raw == UUID.class) {
+            return UUID.nameUUIDFromBytes(longBytes());
+        }
+        if (raw == int.class || raw == Integer.class) {
+            return random.nextInt(3) == 0 ? pick(0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE) : random.nextInt();
+        }
+        if (raw == long.class || raw == Long.class) {
+            return random.nextInt(3) == 0 ? pick(0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE) : random.nextLong();
+        }
+        if (raw == double.class || raw == Double.class) {
+            return random.nextInt(3) == 0 ? pick(0.0, -0.0, Double.MAX_VALUE, Double.MIN_VALUE) : random.nextDouble(-1e6, 1e6);
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return random.nextBoolean();
+        }
+        if (raw.isEnum()) {
+            Object[] constants = raw.getEnumConstants();
+            return constants[random.nextInt(constants.length)];
+        }
+        if (depth >= MAX_DEPTH) {
+            return null;
+        }
+        if (List.class.isAssignableFrom(raw) || Collection.class == raw) {
+            Type element = type instanceof ParameterizedType parameterized ? parameterized.getActualTypeArguments()[0] : String.class;
+            List<Object> list = new ArrayList<>();
+            int size = random.nextInt(0, MAX_COLLECTION_SIZE + 1);
+            for (int i = 0; i < size; i++) {
+                list.add(value(element, depth + 1, true));
+            }
+            return list;
+        }
+        if (raw.isRecord()) {
+            RecordComponent[] components = raw.getRecordComponents();
+            Object[] values = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                values[i] = value(components[i].getGenericType(), depth + 1, !components[i].getType().isPrimitive());
+            }
+            return instantiate(raw, values);
+        }
+        throw new IllegalArgumentException("Cannot generate random values for " + type.getTypeName());
+    }
+
+    // Candidates are ordered from most to least aggressive.
+    static List<Object> shrink(Object value) {
+        List<Object> candidates = new ArrayList<>();
+        if (value instanceof String text) {
+            if (!text.isEmpty()) {
+                candidates.add("");
+                candidates.add(text.substring(0, text.length() / 2));
+                candidates.add(text.substring(0, text.length() - 1));
+            }
+        } else if (value instanceof Integer number && number != 0) {
+            candidates.add(0);
+            candidates.add(number / 2);
+        } else if (value instanceof Long number && number != 0) {
+            candidates.add(0L);
+            candidates.add(number / 2);
+        } else if (value instanceof Double number && number != 0.0) {
+            candidates.add(0.0);
+            candidates.add(Math.floor(number / 2));
+        } else if (value instanceof Boolean bool && bool) {
+            candidates.add(false);
+        } else if (value instanceof List<?> list && !list.isEmpty()) {
+            candidates.add(List.of());
+            candidates.add(list.subList(0, list.size() / 2));
+            for (int i = 0; i < list.size(); i++) {
+                for (Object element : shrink(list.get(i))) {
+                    List<Object> copy = new ArrayList<>(list);
+                    copy.set(i, element);
+                    candidates.add(copy);
+                }
+            }
+        } else if (value != null && value.getClass().isRecord()) {
+            RecordComponent[] components = value.getClass().getRecordComponents();
+            Object[] values = componentValues(value, components);
+            for (int i = 0; i < components.length; i++) {
+                List<Object> replacements = new ArrayList<>();
+                if (values[i] != null && !components[i].getType().isPrimitive()) {
+                    replacements.add(null);
+                }
+                replacements.addAll(shrink(values[i]));
+                for (Object replacement : replacements) {
+                    Object[] copy = values.clone();
+                    copy[i] = replacement;
+                    candidates.add(instantiate(value.getClass(), copy));
+                }
+            }
+        }
+        candidates.removeIf(candidate -> Objects.equals(candidate, value));
+        return candidates;
+    }
+
+    private String randomString(String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private byte[] longBytes() {
+        long value = random.nextLong();
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (value >>> (i * 8));
+        }
+        return bytes;
+    }
+
+    @SafeVarargs
+    private <T> T pick(T... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        throw new IllegalArgumentException("Cannot generate random values for " + type.getTypeName());
+    }
+
+    private static Object[] componentValues(Object record, RecordComponent[] components) {
+        try {
+            Object[] values = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                values[i] = components[i].getAccessor().invoke(record);
+            }
+            return values;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object instantiate(Class<?> recordType, Object[] values) {
+        try {
+            Class<?>[] types = Arrays.stream(recordType.getRecordComponents())
+                    .map(RecordComponent::getType)
+                    .toArray(Class<?>[]::new);
+            Constructor<?> constructor = recordType.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+            return constructor.newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + recordType.getName(), e);
+        }
+    }
+}
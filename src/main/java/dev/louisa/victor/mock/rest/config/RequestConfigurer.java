@@ -1,28 +1,40 @@
 package dev.louisa.victor.mock.rest.config;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
 @FunctionalInterface
 public interface RequestConfigurer {
      void apply(MockHttpServletRequestBuilder request);
 
     static RequestConfigurer body(ObjectMapper mapper, Object body) {
+        return body(mapper, body, ContentEncoding.IDENTITY);
+    }
+
+    static RequestConfigurer body(ObjectMapper mapper, Object body, ContentEncoding encoding) {
         return request -> {
-            setRequestBody( body, request, mapper);
+            setRequestBody( body, request, mapper, encoding);
             request.contentType(MediaType.APPLICATION_JSON);
+            if (encoding != ContentEncoding.IDENTITY) {
+                request.header(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+            }
         };
     }
 
-    private static void setRequestBody(Object body, MockHttpServletRequestBuilder request, ObjectMapper mapper) {
-        try {
-            request.content(mapper.writeValueAsString(body));
-        } catch (JsonProcessingException e) {
+    private static void setRequestBody(Object body, MockHttpServletRequestBuilder request, ObjectMapper mapper, ContentEncoding encoding) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.encode(content)) {
+            mapper.writeValue(out, body);
+        } catch (IOException e) {
             throw new IllegalStateException(e);
         }
+        request.content(content.toByteArray());
     }
 
     static RequestConfigurer header(String name, String value) {
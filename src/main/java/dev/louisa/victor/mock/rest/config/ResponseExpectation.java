@@ -1,5 +1,8 @@
 package dev.louisa.victor.mock.rest.config;
 
+import dev.louisa.victor.mock.rest.contract.OpenApiContract;
+import dev.louisa.victor.mock.rest.snapshot.SnapshotStore;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -39,4 +42,32 @@ public interface ResponseExpectation {
             throw new IllegalStateException(e);
         }
     }
+
+    static ResponseExpectation conformsTo(OpenApiContract contract) {
+        return actions -> andExpect(contract, actions);
+    }
+
+    private static void andExpect(OpenApiContract contract, ResultActions actions) {
+        try {
+            actions.andExpect(result -> contract.verify(result.getRequest(), result.getResponse()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static ResponseExpectation matchesSnapshot(SnapshotStore store, String name, String... ignoredPaths) {
+        return actions -> andExpect(store, name, ignoredPaths, actions);
+    }
+
+    private static void andExpect(SnapshotStore store, String name, String[] ignoredPaths, ResultActions actions) {
+        try {
+            actions.andExpect(result -> store.verify(
+                    name,
+                    result.getResponse().getContentAsByteArray(),
+                    result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING),
+                    ignoredPaths));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package dev.louisa.victor.mock.rest.contract;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Schema compiled once from the spec; validates a document token by token without building a tree.
+// Fields are filled in by SchemaCompiler after construction so recursive $refs can point at themselves.
+class CompiledSchema {
+    final Set<String> types = new HashSet<>();
+    final Map<String, CompiledSchema> properties = new LinkedHashMap<>();
+    final Set<String> required = new HashSet<>();
+    final Set<String> enumValues = new HashSet<>();
+    boolean nullable;
+    boolean additionalPropertiesAllowed = true;
+    CompiledSchema additionalProperties;
+    CompiledSchema items;
+
+    void validate(JsonParser parser, String path, List<String> errors) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            if (!nullable && !types.isEmpty() && !types.contains("null")) {
+                errors.add(path + ": expected " + String.join("|", types) + " but was null");
+            }
+            return;
+        }
+
+        String actual = typeOf(token);
+        if (!types.isEmpty() && !accepts(actual)) {
+            errors.add(path + ": expected " + String.join("|", types) + " but was " + actual);
+            parser.skipChildren();
+            return;
+        }
+
+        if (token == JsonToken.START_OBJECT) {
+            validateObject(parser, path, errors);
+        } else if (token == JsonToken.START_ARRAY) {
+            validateArray(parser, path, errors);
+        } else if (!enumValues.isEmpty() && !enumValues.contains(parser.getText())) {
+            errors.add(path + ": value '" + parser.getText() + "' is not one of " + enumValues);
+        }
+    }
+
+    private void validateObject(JsonParser parser, String path, List<String> errors) throws IOException {
+        Set<String> missing = new HashSet<>(required);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            String fieldPath = path + "." + name;
+            missing.remove(name);
+            parser.nextToken();
+
+            CompiledSchema property = properties.get(name);
+            if (property != null) {
+                property.validate(parser, fieldPath, errors);
+            } else if (additionalProperties != null) {
+                additionalProperties.validate(parser, fieldPath, errors);
+            } else {
+                if (!additionalPropertiesAllowed) {
+                    errors.add(fieldPath + ": property is not allowed");
+                }
+                parser.skipChildren();
+            }
+        }
+        missing.forEach(name -> errors.add(path + "." + name + ": required property is missing"));
+    }
+
+    private void validateArray(JsonParser parser, String path, List<String> errors) throws IOException {
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (items != null) {
+                items.validate(parser, path + "[" + index + "]", errors);
+            } else {
+                parser.skipChildren();
+            }
+            index++;
+        }
+    }
+
+    private boolean accepts(String actual) {
+        return types.contains(actual) || ("integer".equals(actual) && types.contains("number"));
+    }
+
+    private static String typeOf(JsonToken token) {
+        return switch (token) {
+            case START_OBJECT -> "object";
+            case START_ARRAY -> "array";
+            case VALUE_STRING -> "string";
+            case VALUE_NUMBER_INT -> "integer";
+            case VALUE_NUMBER_FLOAT -> "number";
+            case VALUE_TRUE, VALUE_FALSE -> "boolean";
+            default -> token.name();
+        };
+    }
+}
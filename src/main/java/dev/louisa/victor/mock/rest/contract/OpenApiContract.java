@@ -0,0 +1,97 @@
+package dev.louisa.victor.mock.rest.contract;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// A JSON OpenAPI spec, loaded once per location. Operation schemas are compiled on first use and
+// cached on the contract, so every MockRest instance using the same spec shares them.
+public class OpenApiContract {
+    private static final Map<String, OpenApiContract> CONTRACTS = new ConcurrentHashMap<>();
+    private static final ObjectMapper SPEC_MAPPER = new ObjectMapper();
+
+    private final JsonNode spec;
+    private final SchemaCompiler compiler;
+    private final List<PathTemplate> paths;
+    private final Map<String, OperationContract> operations = new ConcurrentHashMap<>();
+
+    private OpenApiContract(JsonNode spec) {
+        this.spec = spec;
+        this.compiler = new SchemaCompiler(spec);
+        this.paths = spec.path("paths").properties().stream()
+                .map(entry -> new PathTemplate(entry.getKey()))
+                .sorted(Comparator.comparingInt(PathTemplate::variables))
+                .toList();
+    }
+
+    public static OpenApiContract fromClasspath(String resource) {
+        return CONTRACTS.computeIfAbsent("classpath:" + resource, key -> {
+            try (InputStream in = OpenApiContract.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("OpenAPI spec not found on classpath: " + resource);
+                }
+                return new OpenApiContract(SPEC_MAPPER.readTree(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public static OpenApiContract fromFile(Path file) {
+        return CONTRACTS.computeIfAbsent("file:" + file.toAbsolutePath().normalize(), key -> {
+            try (InputStream in = Files.newInputStream(file)) {
+                return new OpenApiContract(SPEC_MAPPER.readTree(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void verify(MockHttpServletRequest request, MockHttpServletResponse response) {
+        String method = request.getMethod().toLowerCase(Locale.ROOT);
+        String path = request.getRequestURI();
+        OperationContract operation = paths.stream()
+                .filter(template -> template.matches(path) && spec.path("paths").path(template.template()).has(method))
+                .findFirst()
+                .map(template -> operations.computeIfAbsent(method + " " + template.template(),
+                        key -> compileOperation(method, template.template())))
+                .orElseThrow(() -> new AssertionError("No operation in contract for " + request.getMethod() + " " + path));
+
+        List<String> errors = operation.validate(request, response);
+        if (!errors.isEmpty()) {
+            throw new AssertionError("Contract violation for " + operation.name() + ":\n   " + String.join("\n   ", errors));
+        }
+    }
+
+    private OperationContract compileOperation(String method, String template) {
+        JsonNode operation = spec.path("paths").path(template).path(method);
+        return new OperationContract(method.toUpperCase(Locale.ROOT) + " " + template, operation, compiler);
+    }
+
+    private record PathTemplate(String template, Pattern pattern, int variables) {
+        PathTemplate(String template) {
+            this(template,
+                    Pattern.compile(Pattern.quote(template)
+                            .replaceAll("\\{[^/}]+}", "\\\\E[^/]+\\\\Q")
+                            + "/?"),
+                    template.split("\\{", -1).length - 1);
+        }
+
+        boolean matches(String path) {
+            return pattern.matcher(path).matches();
+        }
+    }
+}
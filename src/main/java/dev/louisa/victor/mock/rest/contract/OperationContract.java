@@ -0,0 +1,104 @@
+package dev.louisa.victor.mock.rest.contract;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.louisa.victor.mock.rest.config.ContentEncoding;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class OperationContract {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String name;
+    private final CompiledSchema requestSchema;
+    private final boolean requestBodyRequired;
+    private final Map<String, CompiledSchema> responseSchemas = new HashMap<>();
+
+    OperationContract(String name, JsonNode operation, SchemaCompiler compiler) {
+        this.name = name;
+        JsonNode requestBody = compiler.resolve(operation.path("requestBody"));
+        this.requestSchema = compiler.compile(jsonSchema(requestBody));
+        this.requestBodyRequired = requestBody.path("required").asBoolean(false);
+        operation.path("responses").properties()
+                .forEach(entry -> responseSchemas.put(entry.getKey(), compiler.compile(jsonSchema(compiler.resolve(entry.getValue())))));
+    }
+
+    List<String> validate(MockHttpServletRequest request, MockHttpServletResponse response) {
+        List<String> errors = new ArrayList<>();
+        validateRequest(request, errors);
+        validateResponse(response, errors);
+        return errors;
+    }
+
+    String name() {
+        return name;
+    }
+
+    private void validateRequest(MockHttpServletRequest request, List<String> errors) {
+        byte[] body = request.getContentAsByteArray();
+        if (body == null || body.length == 0) {
+            if (requestBodyRequired) {
+                errors.add("request: required body is missing");
+            }
+            return;
+        }
+        if (requestSchema != null) {
+            validateBody("request", body, request.getHeader(HttpHeaders.CONTENT_ENCODING), requestSchema, errors);
+        }
+    }
+
+    private void validateResponse(MockHttpServletResponse response, List<String> errors) {
+        String status = String.valueOf(response.getStatus());
+        String declared = responseSchemas.containsKey(status) ? status
+                : responseSchemas.containsKey(status.charAt(0) + "XX") ? status.charAt(0) + "XX"
+                : responseSchemas.containsKey("default") ? "default"
+                : null;
+        if (declared == null) {
+            errors.add("response: status " + status + " is not declared, expected one of " + responseSchemas.keySet());
+            return;
+        }
+
+        CompiledSchema schema = responseSchemas.get(declared);
+        byte[] body = response.getContentAsByteArray();
+        if (schema != null) {
+            validateBody("response", body, response.getHeader(HttpHeaders.CONTENT_ENCODING), schema, errors);
+        }
+    }
+
+    private static void validateBody(String root, byte[] body, String contentEncoding, CompiledSchema schema, List<String> errors) {
+        try (JsonParser parser = JSON.createParser(ContentEncoding.of(contentEncoding).decode(new ByteArrayInputStream(body)))) {
+            if (parser.nextToken() == null) {
+                errors.add(root + ": body is empty");
+                return;
+            }
+            schema.validate(parser, root, errors);
+        } catch (JsonProcessingException e) {
+            errors.add(root + ": body is not valid JSON (" + e.getOriginalMessage() + ")");
+        } catch (IOException | IllegalArgumentException e) {
+            errors.add(root + ": body could not be decoded (" + e.getMessage() + ")");
+        }
+    }
+
+    private static JsonNode jsonSchema(JsonNode bodyOrResponse) {
+        JsonNode content = bodyOrResponse.path("content");
+        JsonNode json = content.path("application/json");
+        if (json.isMissingNode()) {
+            json = content.properties().stream()
+                    .filter(entry -> entry.getKey().endsWith("json"))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(json);
+        }
+        return json.path("schema");
+    }
+}
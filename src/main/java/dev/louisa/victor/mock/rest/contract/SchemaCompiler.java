@@ -0,0 +1,102 @@
+package dev.louisa.victor.mock.rest.contract;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+class SchemaCompiler {
+    private static final List<String> UNSUPPORTED_KEYWORDS = List.of("allOf", "oneOf", "anyOf", "not");
+
+    private final JsonNode spec;
+    private final Map<String, CompiledSchema> references = new HashMap<>();
+
+    synchronized CompiledSchema compile(JsonNode node) {
+        if (node == null || node.isMissingNode()) {
+            return null;
+        }
+        if (node.has("$ref")) {
+            return reference(node.get("$ref").asText());
+        }
+        CompiledSchema schema = new CompiledSchema();
+        fill(schema, node);
+        return schema;
+    }
+
+    private CompiledSchema reference(String ref) {
+        CompiledSchema known = references.get(ref);
+        if (known != null) {
+            return known;
+        }
+        JsonNode target = target(ref);
+        if (target.has("$ref")) {
+            CompiledSchema aliased = reference(target.get("$ref").asText());
+            references.put(ref, aliased);
+            return aliased;
+        }
+
+        CompiledSchema schema = new CompiledSchema();
+        references.put(ref, schema);
+        fill(schema, target);
+        return schema;
+    }
+
+    // Request bodies and responses may themselves be $refs into components; follows them to the actual object.
+    JsonNode resolve(JsonNode node) {
+        Set<String> seen = new HashSet<>();
+        JsonNode resolved = node;
+        while (resolved.has("$ref")) {
+            String ref = resolved.get("$ref").asText();
+            if (!seen.add(ref)) {
+                throw new IllegalArgumentException("Circular reference: " + ref);
+            }
+            resolved = target(ref);
+        }
+        return resolved;
+    }
+
+    private JsonNode target(String ref) {
+        if (!ref.startsWith("#/")) {
+            throw new IllegalArgumentException("Only local references are supported: " + ref);
+        }
+        JsonNode target = spec.at(ref.substring(1));
+        if (target.isMissingNode()) {
+            throw new IllegalArgumentException("Unresolvable reference: " + ref);
+        }
+        return target;
+    }
+
+    // Composition keywords are not validated; failing here beats a schema that silently accepts anything.
+    private void fill(CompiledSchema schema, JsonNode node) {
+        UNSUPPORTED_KEYWORDS.stream()
+                .filter(node::has)
+                .findFirst()
+                .ifPresent(keyword -> {
+                    throw new IllegalArgumentException("Unsupported schema keyword '" + keyword + "' in " + node);
+                });
+        JsonNode type = node.path("type");
+        if (type.isArray()) {
+            type.forEach(t -> schema.types.add(t.asText()));
+        } else if (type.isTextual()) {
+            schema.types.add(type.asText());
+        }
+        schema.nullable = node.path("nullable").asBoolean(false);
+        node.path("required").forEach(name -> schema.required.add(name.asText()));
+        node.path("enum").forEach(value -> schema.enumValues.add(value.asText()));
+        node.path("properties").properties()
+                .forEach(entry -> schema.properties.put(entry.getKey(), compile(entry.getValue())));
+
+        JsonNode additional = node.path("additionalProperties");
+        if (additional.isBoolean()) {
+            schema.additionalPropertiesAllowed = additional.asBoolean();
+        } else if (additional.isObject()) {
+            schema.additionalProperties = compile(additional);
+        }
+        schema.items = compile(node.path("items"));
+    }
+}
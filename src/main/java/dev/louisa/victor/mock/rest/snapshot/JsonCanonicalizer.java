@@ -0,0 +1,125 @@
+package dev.louisa.victor.mock.rest.snapshot;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Rewrites a JSON document in one streaming pass through a single generator: object keys sorted,
+// ignored paths dropped, no insignificant whitespace. Paths look like "$.users[*].id"; array indices
+// are always "[*]". Only objects are buffered, as key-sorted maps, until their last field is read.
+class JsonCanonicalizer {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final Set<String> ignoredPaths;
+
+    JsonCanonicalizer(Set<String> ignoredPaths) {
+        this.ignoredPaths = ignoredPaths;
+    }
+
+    void canonicalize(InputStream in, OutputStream out) throws IOException {
+        try (JsonParser parser = JSON.createParser(in);
+             JsonGenerator generator = JSON.createGenerator(out)) {
+            if (parser.nextToken() != null) {
+                write(parser, generator, "$");
+            }
+        }
+    }
+
+    private void write(JsonParser parser, JsonGenerator generator, String path) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT -> write(generator, read(parser, path));
+            case START_ARRAY -> {
+                generator.writeStartArray();
+                String elementPath = path + "[*]";
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (ignoredPaths.contains(elementPath)) {
+                        parser.skipChildren();
+                    } else {
+                        write(parser, generator, elementPath);
+                    }
+                }
+                generator.writeEndArray();
+            }
+            default -> generator.copyCurrentEvent(parser);
+        }
+    }
+
+    // Reads the current value into plain maps (key-sorted), lists and scalars.
+    private Object read(JsonParser parser, String path) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                Map<String, Object> fields = new TreeMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    String fieldPath = path + "." + name;
+                    parser.nextToken();
+                    if (ignoredPaths.contains(fieldPath)) {
+                        parser.skipChildren();
+                    } else {
+                        fields.put(name, read(parser, fieldPath));
+                    }
+                }
+                yield fields;
+            }
+            case START_ARRAY -> {
+                List<Object> elements = new ArrayList<>();
+                String elementPath = path + "[*]";
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (ignoredPaths.contains(elementPath)) {
+                        parser.skipChildren();
+                    } else {
+                        elements.add(read(parser, elementPath));
+                    }
+                }
+                yield elements;
+            }
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE -> true;
+            case VALUE_FALSE -> false;
+            default -> null;
+        };
+    }
+
+    private static void write(JsonGenerator generator, Object value) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case Map<?, ?> fields -> {
+                generator.writeStartObject();
+                for (Map.Entry<?, ?> field : fields.entrySet()) {
+                    generator.writeFieldName((String) field.getKey());
+                    write(generator, field.getValue());
+                }
+                generator.writeEndObject();
+            }
+            case List<?> elements -> {
+                generator.writeStartArray();
+                for (Object element : elements) {
+                    write(generator, element);
+                }
+                generator.writeEndArray();
+            }
+            case String text -> generator.writeString(text);
+            case Boolean bool -> generator.writeBoolean(bool);
+            case Integer number -> generator.writeNumber(number);
+            case Long number -> generator.writeNumber(number);
+            case BigInteger number -> generator.writeNumber(number);
+            case BigDecimal number -> generator.writeNumber(number);
+            case Float number -> generator.writeNumber(number);
+            case Number number -> generator.writeNumber(number.doubleValue());
+            default -> throw new IllegalStateException("Unexpected JSON value: " + value);
+        }
+    }
+}
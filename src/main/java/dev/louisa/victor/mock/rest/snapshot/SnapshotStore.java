@@ -0,0 +1,239 @@
+package dev.louisa.victor.mock.rest.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.louisa.victor.mock.rest.config.ContentEncoding;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Golden response files in a directory, plus an index of their canonical hashes. A snapshot
+// is compared by hash first, canonicalizing straight into the digest; the canonical text is only
+// built, and the golden file only read and diffed, when the hashes differ.
+@Slf4j
+public class SnapshotStore {
+    public static final String UPDATE_PROPERTY = "mockrest.snapshot.update";
+
+    private static final String INDEX_FILE = "snapshots.index";
+    private static final int MAX_REPORTED_DIFFERENCES = 20;
+    private static final Map<Path, Snapshots> DIRECTORIES = new ConcurrentHashMap<>();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Snapshots snapshots;
+    private final boolean update;
+
+    private SnapshotStore(Path directory, boolean update) {
+        this.snapshots = DIRECTORIES.computeIfAbsent(directory.toAbsolutePath().normalize(), Snapshots::new);
+        this.update = update;
+    }
+
+    public static SnapshotStore at(Path directory) {
+        return new SnapshotStore(directory, Boolean.getBoolean(UPDATE_PROPERTY));
+    }
+
+    public static SnapshotStore updating(Path directory) {
+        return new SnapshotStore(directory, true);
+    }
+
+    public void verify(String name, byte[] body, String contentEncoding, String... ignoredPaths) {
+        Set<String> ignored = ignoredPaths(ignoredPaths);
+
+        if (update) {
+            ByteArrayOutputStream canonical = new ByteArrayOutputStream();
+            String hash = canonicalize(body, contentEncoding, ignored, canonical);
+            snapshots.record(name, hash, canonical.toByteArray());
+            return;
+        }
+
+        String expected = snapshots.index.get(name);
+        if (expected == null) {
+            throw new AssertionError("No snapshot '" + name + "' in " + snapshots.directory + ", run with -D" + UPDATE_PROPERTY + "=true to record it");
+        }
+        String hash = canonicalize(body, contentEncoding, ignored, OutputStream.nullOutputStream());
+        if (expected.equals(hash)) {
+            return;
+        }
+
+        ByteArrayOutputStream canonical = new ByteArrayOutputStream();
+        canonicalize(body, contentEncoding, ignored, canonical);
+        List<String> differences = new ArrayList<>();
+        diff(snapshots.golden(name), readTree(canonical.toByteArray()), "$", differences);
+        if (!differences.isEmpty()) {
+            throw new AssertionError("Response does not match snapshot '" + name + "':\n   " + String.join("\n   ", differences));
+        }
+        // a stale index entry would otherwise send this snapshot down the load-and-diff path on every run
+        throw new AssertionError("Response matches snapshot '" + name + "' but its hash " + hash + " differs from the indexed "
+                + expected + ", run with -D" + UPDATE_PROPERTY + "=true to re-record it");
+    }
+
+    public void flush() {
+        snapshots.flush();
+    }
+
+    private static Set<String> ignoredPaths(String... ignoredPaths) {
+        return Arrays.stream(ignoredPaths)
+                .map(path -> path.startsWith("$") ? path
+                        : path.startsWith("[") ? "$" + path
+                        : "$." + path)
+                .collect(Collectors.toSet());
+    }
+
+    // Writes the canonical form to target while hashing it, and returns the hash.
+    private static String canonicalize(byte[] body, String contentEncoding, Set<String> ignored, OutputStream target) {
+        MessageDigest digest = md5();
+        try (InputStream in = ContentEncoding.of(contentEncoding).decode(new ByteArrayInputStream(body));
+             OutputStream out = new DigestOutputStream(target, digest)) {
+            new JsonCanonicalizer(ignored).canonicalize(in, out);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new AssertionError("Failed to canonicalize response body: " + e.getMessage(), e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest md5() {
+        try {
+            // 128-bit digest; only used to detect changes, not for security.
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonNode readTree(byte[] canonical) {
+        try {
+            return MAPPER.readTree(canonical);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, String> readIndex(Path file) {
+        if (!Files.exists(file)) {
+            return Map.of();
+        }
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines
+                    .filter(line -> line.contains("="))
+                    .collect(Collectors.toMap(
+                            line -> line.substring(0, line.lastIndexOf('=')),
+                            line -> line.substring(line.lastIndexOf('=') + 1)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void diff(JsonNode expected, JsonNode actual, String path, List<String> differences) {
+        if (differences.size() >= MAX_REPORTED_DIFFERENCES || expected.equals(actual)) {
+            return;
+        }
+        if (expected.isObject() && actual.isObject()) {
+            expected.properties().forEach(field -> {
+                JsonNode other = actual.get(field.getKey());
+                if (other == null) {
+                    differences.add(path + "." + field.getKey() + ": missing in response");
+                } else {
+                    diff(field.getValue(), other, path + "." + field.getKey(), differences);
+                }
+            });
+            actual.properties().stream()
+                    .filter(field -> !expected.has(field.getKey()))
+                    .forEach(field -> differences.add(path + "." + field.getKey() + ": not in snapshot"));
+        } else if (expected.isArray() && actual.isArray()) {
+            if (expected.size() != actual.size()) {
+                differences.add(path + ": expected " + expected.size() + " elements but was " + actual.size());
+            }
+            for (int i = 0; i < Math.min(expected.size(), actual.size()); i++) {
+                diff(expected.get(i), actual.get(i), path + "[" + i + "]", differences);
+            }
+        } else {
+            differences.add(path + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    // State shared by every store on the same directory, so recording and verifying never see different indexes.
+    private static final class Snapshots {
+        private final Path directory;
+        private final Map<String, String> index;
+        private final Map<String, byte[]> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean flushOnShutdown = new AtomicBoolean();
+
+        private Snapshots(Path directory) {
+            this.directory = directory;
+            this.index = new ConcurrentHashMap<>(readIndex(directory.resolve(INDEX_FILE)));
+        }
+
+        private void record(String name, String hash, byte[] canonical) {
+            if (!hash.equals(index.put(name, hash))) {
+                pending.put(name, canonical);
+                if (flushOnShutdown.compareAndSet(false, true)) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(this::flush));
+                }
+            }
+        }
+
+        private JsonNode golden(String name) {
+            byte[] recorded = pending.get(name);
+            if (recorded != null) {
+                return readTree(recorded);
+            }
+            Path file = goldenFile(name);
+            try (InputStream in = Files.newInputStream(file)) {
+                return MAPPER.readTree(in);
+            } catch (IOException e) {
+                throw new AssertionError("Failed to read snapshot '" + name + "' from " + file, e);
+            }
+        }
+
+        private synchronized void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                for (Map.Entry<String, byte[]> snapshot : new TreeMap<>(pending).entrySet()) {
+                    Path file = goldenFile(snapshot.getKey());
+                    Files.createDirectories(file.getParent());
+                    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                        MAPPER.writerWithDefaultPrettyPrinter().writeValue(writer, readTree(snapshot.getValue()));
+                    }
+                    pending.remove(snapshot.getKey(), snapshot.getValue());
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(INDEX_FILE), StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, String> entry : new TreeMap<>(index).entrySet()) {
+                        writer.write(entry.getKey() + "=" + entry.getValue());
+                        writer.newLine();
+                    }
+                }
+                log.info("Updated snapshot index {}", directory.resolve(INDEX_FILE));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Path goldenFile(String name) {
+            return directory.resolve(name + ".json");
+        }
+    }
+}
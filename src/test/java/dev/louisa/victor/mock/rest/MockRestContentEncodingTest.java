@@ -0,0 +1,99 @@
+package dev.louisa.victor.mock.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.louisa.victor.mock.rest.config.ContentEncoding;
+import dev.louisa.victor.mock.rest.dto.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.OK;
+
+class MockRestContentEncodingTest extends BaseTest<byte[]> {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @EnumSource(value = ContentEncoding.class, names = {"GZIP", "DEFLATE"})
+    void shouldSendCompressedRequestBody(ContentEncoding encoding) throws Exception {
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+
+        mockRest
+                .post("/api/v1/users/compressed")
+                .body(GRISWOLD, encoding)
+                .send();
+
+        verify(controller).postCompressedUser(eq(encoding.getToken()), body.capture());
+        assertThat(mapper.readValue(encoding.decode(new ByteArrayInputStream(body.getValue())), User.class))
+                .isEqualTo(GRISWOLD);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ContentEncoding.class, names = {"GZIP", "DEFLATE"})
+    void shouldDecompressResponseBody(ContentEncoding encoding) throws Exception {
+        when(controller.getCompressedUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, compress(encoding, GRISWOLD), contentEncodingHeaders(encoding.getToken())));
+
+        var response = mockRest
+                .get("/api/v1/users/{id}/compressed", GRISWOLD_UUID)
+                .send()
+                .andReturn(User.class);
+
+        assertThat(response).isEqualTo(GRISWOLD);
+    }
+
+    @Test
+    void shouldReportCompressedAndUncompressedResponseSize() throws Exception {
+        byte[] compressed = compress(ContentEncoding.GZIP, GRISWOLD);
+        when(controller.getCompressedUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, compressed, contentEncodingHeaders("gzip")));
+
+        var response = mockRest
+                .get("/api/v1/users/{id}/compressed", GRISWOLD_UUID)
+                .send();
+
+        assertThat(response.compressedSize()).isEqualTo(compressed.length);
+        assertThat(response.uncompressedSize()).isEqualTo(mapper.writeValueAsBytes(GRISWOLD).length);
+    }
+
+    @Test
+    void shouldThrowWhenResponseContentEncodingIsNotSupported() throws Exception {
+        when(controller.getCompressedUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, compress(ContentEncoding.GZIP, GRISWOLD), contentEncodingHeaders("br")));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}/compressed", GRISWOLD_UUID)
+                        .send()
+                        .andReturn(User.class))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Failed to parse response body to User: <")
+                .hasMessageContaining("bytes br>");
+    }
+
+    private byte[] compress(ContentEncoding encoding, Object body) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.encode(content)) {
+            mapper.writeValue(out, body);
+        }
+        return content.toByteArray();
+    }
+
+    private static Map<String, String> contentEncodingHeaders(String contentEncoding) {
+        return Map.of(
+                "Content-Type", "application/json",
+                "Content-Encoding", contentEncoding
+        );
+    }
+}
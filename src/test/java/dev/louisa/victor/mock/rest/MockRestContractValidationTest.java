@@ -0,0 +1,152 @@
+package dev.louisa.victor.mock.rest;
+
+import dev.louisa.victor.mock.rest.contract.OpenApiContract;
+import dev.louisa.victor.mock.rest.dto.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.*;
+
+class MockRestContractValidationTest extends BaseTest<User> {
+    private static final OpenApiContract CONTRACT = OpenApiContract.fromClasspath("openapi/users-api.json");
+
+    @Test
+    void shouldLoadContractOnlyOnce() {
+        assertThat(OpenApiContract.fromClasspath("openapi/users-api.json"))
+                .isSameAs(CONTRACT);
+    }
+
+    @Test
+    void shouldNotThrowWhenExchangeConformsToContract() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GRISWOLD));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectContract(CONTRACT)
+                        .send())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldNotThrowWhenRequestBodyConformsToContract() {
+        assertThatCode(
+                () -> mockRest
+                        .post("/api/v1/users")
+                        .body(GUYBRUSH)
+                        .expectContract(CONTRACT)
+                        .send())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldThrowWhenRequiredRequestBodyIsMissing() {
+        assertThatCode(
+                () -> mockRest
+                        .post("/api/v1/users")
+                        .expectContract(CONTRACT)
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Contract violation for POST /api/v1/users")
+                .hasMessageContaining("request: required body is missing");
+    }
+
+    @Test
+    void shouldThrowWhenResponseBodyDoesNotConformToContract() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, User.builder().id(UUID.fromString(GRISWOLD_UUID)).build()));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectContract(CONTRACT)
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Contract violation for GET /api/v1/users/{id}")
+                .hasMessageContaining("response.name: expected string but was null");
+    }
+
+    @Test
+    void shouldThrowWhenResponseContentEncodingIsNotSupported() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GRISWOLD, Map.of("Content-Encoding", "br")));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectContract(CONTRACT)
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("response: body could not be decoded (Unsupported Content-Encoding: br)");
+    }
+
+    @Test
+    void shouldThrowWhenResponseStatusIsNotDeclaredInContract() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(I_AM_A_TEAPOT, GRISWOLD));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectContract(CONTRACT)
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("response: status 418 is not declared");
+    }
+
+    @Test
+    void shouldValidateArrayItemsAgainstReferencedSchema() {
+        when(controller.getAllUsers())
+                .thenReturn(ResponseEntity.ok(List.of(GRISWOLD, User.builder().name("LeChuck").build())));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users")
+                        .expectContract(CONTRACT)
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("response[1].id: expected string but was null");
+    }
+
+    @Test
+    void shouldThrowWhenSchemaUsesUnsupportedComposition() {
+        assertThatCode(
+                () -> mockRest
+                        .patch("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .body(GRISWOLD)
+                        .expectContract(CONTRACT)
+                        .send())
+                .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                .hasStackTraceContaining("Unsupported schema keyword 'allOf'");
+    }
+
+    @Test
+    void shouldMatchTemplateThatDeclaresTheRequestMethod() {
+        assertThatCode(
+                () -> mockRest
+                        .delete("/api/v1/users/me")
+                        .expectContract(CONTRACT)
+                        .send())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldThrowWhenOperationIsNotInContract() {
+        assertThatCode(
+                () -> mockRest
+                        .put("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .body(GRISWOLD)
+                        .expectContract(CONTRACT)
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("No operation in contract for PUT /api/v1/users/" + GRISWOLD_UUID);
+    }
+}
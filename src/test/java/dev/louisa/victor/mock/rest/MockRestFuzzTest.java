@@ -0,0 +1,125 @@
+package dev.louisa.victor.mock.rest;
+
+import dev.louisa.victor.mock.rest.dto.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.PUT;
+
+class MockRestFuzzTest extends BaseTest<User> {
+    @Test
+    void shouldCompleteAllRequestsWhenControllerHandlesEveryInput() throws Exception {
+        var report = mockRest
+                .fuzz(PUT, "/api/v1/users/{id}")
+                .body(User.class)
+                .seed(42)
+                .requests(500)
+                .threads(4)
+                .run();
+
+        assertThat(report.requests()).isEqualTo(500);
+    }
+
+    @Test
+    void shouldShrinkCrashingInputAndReportSeed() {
+        doAnswer(invocation -> {
+            User user = invocation.getArgument(1);
+            if (user.name() != null && user.name().length() >= 3) {
+                throw new IllegalStateException("Name too long");
+            }
+            return null;
+        }).when(controller).putUser(any(), any());
+
+        assertThatCode(
+                () -> mockRest
+                        .fuzz(PUT, "/api/v1/users/{id}")
+                        .body(User.class)
+                        .seed(7)
+                        .requests(500)
+                        .threads(4)
+                        .run())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("(seed=7)")
+                .hasMessageContaining("Name too long")
+                .hasMessageMatching("(?s).*body=\\{\"id\":null,\"name\":\"[^\"]{3}\"}.*")
+                .hasMessageContaining("Reproduce with .seed(7)");
+    }
+
+    @Test
+    void shouldNotShrinkIntoADifferentCrash() {
+        doAnswer(invocation -> {
+            User user = invocation.getArgument(1);
+            if (user.name() != null && user.name().length() >= 10) {
+                throw new NullPointerException("LONG name bug");
+            }
+            if (user.name() != null && user.name().isEmpty()) {
+                throw new IllegalArgumentException("EMPTY name bug");
+            }
+            return null;
+        }).when(controller).putUser(any(), any());
+
+        Throwable thrown = catchThrowable(
+                () -> mockRest
+                        .fuzz(PUT, "/api/v1/users/{id}")
+                        .body(User.class)
+                        .seed(7)
+                        .requests(500)
+                        .threads(1)
+                        .run());
+
+        assertThat(thrown).isInstanceOf(AssertionError.class);
+        assertThat(thrown.getMessage().lines().limit(2))
+                .allMatch(line -> line.contains("java.lang.NullPointerException: LONG name bug"));
+        assertThat(thrown.getMessage())
+                .doesNotContain("EMPTY name bug")
+                .containsPattern("body=\\{\"id\":null,\"name\":\"[^\"]{10}\"}");
+    }
+
+    @Test
+    void shouldReportLowestFailingRequestIndependentOfThreadCount() {
+        doAnswer(invocation -> {
+            User user = invocation.getArgument(1);
+            if (user.name() != null && user.name().length() >= 20) {
+                throw new IllegalStateException("Name too long");
+            }
+            return null;
+        }).when(controller).putUser(any(), any());
+
+        String singleThreaded = fuzzFailure(1);
+
+        assertThat(fuzzFailure(8)).isEqualTo(singleThreaded);
+    }
+
+    @Test
+    void shouldThrowWhenInvariantIsViolated() {
+        assertThatCode(
+                () -> mockRest
+                        .fuzz(GET, "/api/v1/users/{id}")
+                        .header("x-request-id")
+                        .invariant("ok response has a body", result -> result.getResponse().getStatus() != 200
+                                || result.getResponse().getContentLength() > 0)
+                        .seed(1)
+                        .requests(100)
+                        .run())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("invariant 'ok response has a body' violated (status 200)")
+                .hasMessageContaining("headers={}");
+    }
+
+    private String fuzzFailure(int threads) {
+        Throwable thrown = catchThrowable(
+                () -> mockRest
+                        .fuzz(PUT, "/api/v1/users/{id}")
+                        .body(User.class)
+                        .seed(11)
+                        .requests(500)
+                        .threads(threads)
+                        .run());
+        return thrown.getMessage().lines().findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,188 @@
+package dev.louisa.victor.mock.rest;
+
+import dev.louisa.victor.mock.rest.dto.User;
+import dev.louisa.victor.mock.rest.snapshot.SnapshotStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.OK;
+
+class MockRestSnapshotTest extends BaseTest<User> {
+    @TempDir
+    Path snapshots;
+
+    @Test
+    void shouldThrowWhenSnapshotDoesNotExist() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GRISWOLD));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectSnapshot(SnapshotStore.at(snapshots), "users/griswold")
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("No snapshot 'users/griswold'");
+    }
+
+    @Test
+    void shouldWriteSnapshotsInUpdateMode() throws Exception {
+        recordSnapshot("users/griswold", GRISWOLD);
+
+        assertThat(snapshots.resolve("users/griswold.json")).exists();
+        assertThat(Files.readString(snapshots.resolve("snapshots.index")))
+                .startsWith("users/griswold=");
+    }
+
+    @Test
+    void shouldNotThrowWhenResponseMatchesSnapshot() throws Exception {
+        recordSnapshot("users/griswold", GRISWOLD);
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GRISWOLD));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectSnapshot(SnapshotStore.at(snapshots), "users/griswold")
+                        .send())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldNotThrowWhenOnlyIgnoredPathsDiffer() throws Exception {
+        recordSnapshot("users/griswold", GRISWOLD, "id");
+        User withOtherId = User.builder()
+                .id(UUID.fromString(GUYBRUSH_UUID))
+                .name(GRISWOLD.name())
+                .build();
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, withOtherId));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectSnapshot(SnapshotStore.at(snapshots), "users/griswold", "$.id")
+                        .send())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldIgnorePathsBelowRootArray() throws Exception {
+        User withOtherId = User.builder()
+                .id(UUID.fromString(GUYBRUSH_UUID))
+                .name(GRISWOLD.name())
+                .build();
+        when(controller.getAllUsers())
+                .thenReturn(ResponseEntity.ok(List.of(GRISWOLD)));
+        SnapshotStore store = SnapshotStore.updating(snapshots);
+        mockRest
+                .get("/api/v1/users")
+                .expectSnapshot(store, "users/all", "[*].id")
+                .send();
+        store.flush();
+        when(controller.getAllUsers())
+                .thenReturn(ResponseEntity.ok(List.of(withOtherId)));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users")
+                        .expectSnapshot(SnapshotStore.at(snapshots), "users/all", "[*].id")
+                        .send())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldThrowWhenIndexedHashIsStaleButResponseMatchesSnapshot() throws Exception {
+        Files.writeString(snapshots.resolve("snapshots.index"), "griswold=00000000000000000000000000000000\n");
+        Files.writeString(snapshots.resolve("griswold.json"),
+                "{ \"name\": \"Griswold Goudsoup\", \"id\": \"" + GRISWOLD_UUID + "\" }");
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GRISWOLD));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectSnapshot(SnapshotStore.at(snapshots), "griswold")
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Response matches snapshot 'griswold' but its hash")
+                .hasMessageContaining("differs from the indexed 00000000000000000000000000000000");
+    }
+
+    @Test
+    void shouldReportDifferencesWhenResponseDoesNotMatchSnapshot() throws Exception {
+        recordSnapshot("users/griswold", GRISWOLD);
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GUYBRUSH));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectSnapshot(SnapshotStore.at(snapshots), "users/griswold")
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Response does not match snapshot 'users/griswold'")
+                .hasMessageContaining("$.id: expected \"" + GRISWOLD_UUID + "\" but was \"" + GUYBRUSH_UUID + "\"")
+                .hasMessageContaining("$.name: expected \"Griswold Goudsoup\" but was \"Guybrush Threepwood\"");
+    }
+
+    @Test
+    void shouldVerifyAgainstReRecordedSnapshot() throws Exception {
+        recordSnapshot("users/griswold", GRISWOLD);
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GRISWOLD));
+        mockRest
+                .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                .expectSnapshot(SnapshotStore.at(snapshots), "users/griswold")
+                .send();
+
+        recordSnapshot("users/griswold", GUYBRUSH);
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GRISWOLD));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectSnapshot(SnapshotStore.at(snapshots), "users/griswold")
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("$.name: expected \"Guybrush Threepwood\" but was \"Griswold Goudsoup\"");
+    }
+
+    @Test
+    void shouldThrowWhenResponseContentEncodingIsNotSupported() throws Exception {
+        recordSnapshot("users/griswold", GRISWOLD);
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, GRISWOLD, Map.of("Content-Encoding", "br")));
+
+        assertThatCode(
+                () -> mockRest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .expectSnapshot(SnapshotStore.at(snapshots), "users/griswold")
+                        .send())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Failed to canonicalize response body: Unsupported Content-Encoding: br");
+    }
+
+    private void recordSnapshot(String name, User user, String... ignoredPaths) throws Exception {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenReturn(response(OK, user));
+
+        SnapshotStore store = SnapshotStore.updating(snapshots);
+        mockRest
+                .get("/api/v1/users/{id}", GRISWOLD_UUID)
+                .expectSnapshot(store, name, ignoredPaths)
+                .send();
+        store.flush();
+    }
+}
@@ -0,0 +1,238 @@
+package dev.louisa.victor.mock.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.louisa.victor.mock.rest.dto.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.I_AM_A_TEAPOT;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+
+class MockRestStressTest extends BaseTest<User> {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicReference<User> stored = new AtomicReference<>(GRISWOLD);
+
+    @BeforeEach
+    void storeUsers() {
+        doAnswer(invocation -> {
+            stored.set(invocation.getArgument(1));
+            return null;
+        }).when(controller).putUser(any(), any());
+    }
+
+    @Test
+    void shouldReportEveryExchangeWhenHistoryIsLinearizable() throws Exception {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenAnswer(invocation -> ResponseEntity.ok(stored.get()));
+
+        var report = stress()
+                .linearizableTo(lastWrittenUser())
+                .run();
+
+        assertThat(report.exchanges()).isEqualTo(4 * 30);
+        assertThat(report.operationsByP99Latency())
+                .extracting(MockRestStress.OperationStats::operation)
+                .containsExactlyInAnyOrder("put griswold", "put guybrush", "get");
+    }
+
+    @Test
+    void shouldReportOperationBlockedOnALockAsHotSpot() throws Exception {
+        Object lock = new Object();
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenAnswer(invocation -> {
+                    synchronized (lock) {
+                        Thread.sleep(5);
+                    }
+                    return ResponseEntity.ok(stored.get());
+                });
+
+        var report = stress().run();
+
+        assertThat(report.hotSpots()).first()
+                .satisfies(stats -> {
+                    assertThat(stats.operation()).isEqualTo("get");
+                    assertThat(stats.contention().blockedCount()).isPositive();
+                    assertThat(stats.contention().blockedTime()).isPositive();
+                });
+    }
+
+    @Test
+    void shouldThrowWhenHistoryIsNotLinearizable() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenAnswer(invocation -> ResponseEntity.ok(GRISWOLD));
+
+        assertThatCode(
+                () -> mockRest.stress()
+                        .operation("put guybrush", rest -> rest
+                                .put("/api/v1/users/{id}", GRISWOLD_UUID)
+                                .body(GUYBRUSH))
+                        .operation("get", rest -> rest
+                                .get("/api/v1/users/{id}", GRISWOLD_UUID))
+                        .threads(4)
+                        .iterationsPerThread(10)
+                        .linearizableTo(lastWrittenUser())
+                        .run())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Stress history is not consistent with any sequential order of the operations");
+    }
+
+    @Test
+    void shouldNameThePartitionThatIsNotLinearizable() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenAnswer(invocation -> ResponseEntity.ok(GRISWOLD));
+
+        assertThatCode(
+                () -> mockRest.stress()
+                        .operation("put guybrush", rest -> rest
+                                .put("/api/v1/users/{id}", GRISWOLD_UUID)
+                                .body(GUYBRUSH))
+                        .operation("get", rest -> rest
+                                .get("/api/v1/users/{id}", GRISWOLD_UUID))
+                        .threads(4)
+                        .iterationsPerThread(10)
+                        .linearizableTo(lastWrittenUserPerUri())
+                        .run())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Stress history for partition '/api/v1/users/" + GRISWOLD_UUID + "' is not consistent");
+    }
+
+    @Test
+    void shouldThrowInconclusiveWhenLinearizabilityBudgetIsExhausted() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenAnswer(invocation -> ResponseEntity.ok(stored.get()));
+
+        assertThatCode(
+                () -> stress()
+                        .linearizableTo(lastWrittenUser())
+                        .linearizabilityBudget(10)
+                        .run())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Stress history linearizability check inconclusive: no verdict within 10 model steps for 120 exchanges");
+    }
+
+    @Test
+    void shouldThrowWhenInvariantIsViolated() {
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenAnswer(invocation -> ResponseEntity.ok(stored.get()));
+
+        assertThatCode(
+                () -> stress()
+                        .invariant("nothing is written", history -> history.stream()
+                                .noneMatch(exchange -> exchange.operation().startsWith("put")))
+                        .run())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Stress invariant 'nothing is written' violated");
+    }
+
+    @Test
+    void shouldDumpStuckThreadsWhenRunTimesOut() {
+        CountDownLatch never = new CountDownLatch(1);
+        when(controller.getUser(GRISWOLD_UUID))
+                .thenAnswer(invocation -> {
+                    never.await();
+                    return ResponseEntity.ok(GRISWOLD);
+                });
+
+        assertThatCode(
+                () -> mockRest.stress()
+                        .operation("get", rest -> rest
+                                .get("/api/v1/users/{id}", GRISWOLD_UUID))
+                        .threads(2)
+                        .iterationsPerThread(5)
+                        .timeout(Duration.ofMillis(500))
+                        .run())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Stress run did not finish within PT0.5S")
+                .hasMessageContaining("\"mockrest-stress-0\" WAITING")
+                .hasMessageContaining("java.util.concurrent.CountDownLatch.await");
+    }
+
+    @Test
+    void shouldThrowWhenExchangeFailsItsExpectations() {
+        assertThatCode(
+                () -> mockRest.stress()
+                        .operation("put", rest -> rest
+                                .put("/api/v1/users/{id}", GRISWOLD_UUID)
+                                .body(GUYBRUSH)
+                                .expectResponseStatus(I_AM_A_TEAPOT))
+                        .threads(2)
+                        .iterationsPerThread(5)
+                        .run())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Stress exchange 'put' on thread");
+    }
+
+    private MockRestStress stress() {
+        return mockRest.stress()
+                .operation("put griswold", rest -> rest
+                        .put("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .body(GRISWOLD)
+                        .expectResponseStatus(NO_CONTENT))
+                .operation("put guybrush", rest -> rest
+                        .put("/api/v1/users/{id}", GRISWOLD_UUID)
+                        .body(GUYBRUSH)
+                        .expectResponseStatus(NO_CONTENT))
+                .operation("get", rest -> rest
+                        .get("/api/v1/users/{id}", GRISWOLD_UUID))
+                .threads(4)
+                .iterationsPerThread(30);
+    }
+
+    private MockRestStress.SequentialModel<User> lastWrittenUser() {
+        return new MockRestStress.SequentialModel<>() {
+            @Override
+            public User initialState() {
+                return GRISWOLD;
+            }
+
+            @Override
+            public Optional<User> apply(User state, MockRestStress.Exchange exchange) {
+                if (exchange.operation().startsWith("put")) {
+                    return Optional.of(read(exchange.result().getRequest().getContentAsByteArray()));
+                }
+                return read(exchange.result().getResponse().getContentAsByteArray()).equals(state)
+                        ? Optional.of(state)
+                        : Optional.empty();
+            }
+        };
+    }
+
+    private MockRestStress.SequentialModel<User> lastWrittenUserPerUri() {
+        MockRestStress.SequentialModel<User> lastWritten = lastWrittenUser();
+        return new MockRestStress.SequentialModel<>() {
+            @Override
+            public User initialState() {
+                return lastWritten.initialState();
+            }
+
+            @Override
+            public Optional<User> apply(User state, MockRestStress.Exchange exchange) {
+                return lastWritten.apply(state, exchange);
+            }
+
+            @Override
+            public Object partition(MockRestStress.Exchange exchange) {
+                return exchange.result().getRequest().getRequestURI();
+            }
+        };
+    }
+
+    private User read(byte[] content) {
+        try {
+            return mapper.readValue(content, User.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -26,6 +26,11 @@ public class UserController {
         throw new UnsupportedOperationException("Not yet implemented: UserControllerStub.getUser");
     }
 
+    @GetMapping("/api/v1/users/{id}/compressed")
+    public ResponseEntity<byte[]> getCompressedUser(@PathVariable("id") String id) {
+        throw new UnsupportedOperationException("Not yet implemented: UserControllerStub.getCompressedUser");
+    }
+
     @GetMapping("/api/v1/users")
     public ResponseEntity<List<User>> getAllUsers() {
         throw new UnsupportedOperationException("Not yet implemented: UserControllerStub.getUser");
@@ -38,6 +43,12 @@ public class UserController {
         throw new UnsupportedOperationException("Not yet implemented: UserControllerStub.getUser");
     }
 
+    @PostMapping("/api/v1/users/compressed")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void postCompressedUser(@RequestHeader("Content-Encoding") String contentEncoding, @RequestBody byte[] body) {
+        throw new UnsupportedOperationException("Not yet implemented: UserControllerStub.postCompressedUser");
+    }
+
     @PutMapping("/api/v1/users/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void putUser(@PathVariable("id") String id, @RequestBody User user) {